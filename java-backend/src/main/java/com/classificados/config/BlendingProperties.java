@@ -0,0 +1,79 @@
+package com.classificados.config;
+
+import com.classificados.model.Ad;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Premium placement configuration for the blended search results.
+ *
+ * Category overrides are merged field by field with the defaults, so an override
+ * only needs the fields it changes.
+ *
+ * <pre>
+ * classificados.blending.defaults.type=INTERLEAVE
+ * classificados.blending.defaults.every=5
+ * classificados.blending.categories.veiculos.type=PLAN_QUOTA
+ * classificados.blending.categories.veiculos.quotas.ENTERPRISE=2
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "classificados.blending")
+public class BlendingProperties {
+
+    private Strategy defaults = Strategy.builtIn();
+
+    private Map<String, Strategy> categories = new HashMap<>();
+
+    /**
+     * Strategy settings. Unset (null) fields are inherited from the parent level.
+     */
+    @Data
+    public static class Strategy {
+        private StrategyType type;
+
+        // TOP_SLOTS
+        private Integer maxSlots;
+        private Double ratio;
+
+        // INTERLEAVE
+        private Integer every;
+
+        // PLAN_QUOTA
+        private Map<Ad.PlanType, Integer> quotas;
+
+        public static Strategy builtIn() {
+            Strategy strategy = new Strategy();
+            strategy.setType(StrategyType.TOP_SLOTS);
+            strategy.setMaxSlots(3);
+            strategy.setRatio(0.25);
+            strategy.setEvery(4);
+            strategy.setQuotas(new HashMap<>());
+            return strategy;
+        }
+
+        /**
+         * Copy of this strategy with unset fields taken from {@code parent}.
+         */
+        public Strategy withFallback(Strategy parent) {
+            Strategy merged = new Strategy();
+            merged.setType(type != null ? type : parent.getType());
+            merged.setMaxSlots(maxSlots != null ? maxSlots : parent.getMaxSlots());
+            merged.setRatio(ratio != null ? ratio : parent.getRatio());
+            merged.setEvery(every != null ? every : parent.getEvery());
+            merged.setQuotas(quotas != null ? quotas : parent.getQuotas());
+            return merged;
+        }
+    }
+
+    public enum StrategyType {
+        TOP_SLOTS,
+        INTERLEAVE,
+        PLAN_QUOTA
+    }
+}
@@ -0,0 +1,25 @@
+package com.classificados.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Similar-ads index configuration (classificados.similar.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "classificados.similar")
+public class SimilarAdsProperties {
+
+    // Neighbours kept per ad
+    private int neighbours = 12;
+
+    // Upper bound on LSH candidates scored per ad, guards against huge buckets
+    private int maxCandidates = 200;
+
+    // Drives the scheduled rebuild in SimilarAdsService
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,30 @@
+package com.classificados.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Startup warm-up configuration (classificados.warmup.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "classificados.warmup")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on how long readiness can be held back
+    private Duration maxDuration = Duration.ofSeconds(30);
+
+    private int maxRounds = 200;
+
+    // Latency is steady once this many consecutive rounds stay within tolerance of the best round
+    private int stableRounds = 5;
+    private double tolerance = 0.10;
+
+    // Active ads scored per round
+    private int sampleSize = 2000;
+}
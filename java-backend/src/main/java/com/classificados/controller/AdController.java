@@ -3,6 +3,7 @@ package com.classificados.controller;
 import com.classificados.model.Ad;
 import com.classificados.service.AdDisplayService;
 import com.classificados.service.AdService;
+import com.classificados.service.SimilarAdsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,6 +21,10 @@ public class AdController {
 
     private final AdService adService;
     private final AdDisplayService adDisplayService;
+    private final SimilarAdsService similarAdsService;
+
+    // Echo back on the next pages of the same search
+    private static final String DISPLAY_SEED_HEADER = "X-Display-Seed";
 
     @GetMapping
     @Operation(summary = "Search ads with plan-based prioritization")
@@ -31,10 +36,16 @@ public class AdController {
             @Parameter(description = "State filter") @RequestParam(required = false) String state,
             @Parameter(description = "City filter") @RequestParam(required = false) String city,
             @Parameter(description = "User's state for location scoring") @RequestParam(required = false) String userState,
-            @Parameter(description = "Result limit") @RequestParam(defaultValue = "20") int limit) {
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Result limit") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Display seed from the X-Display-Seed header of the first page") @RequestParam(required = false) Long seed) {
 
-        List<Ad> ads = adDisplayService.searchAds(q, category, priceMin, priceMax, state, city, userState, limit);
-        return ResponseEntity.ok(ads);
+        AdDisplayService.SearchAdsResult result = adDisplayService.searchAds(
+            q, category, priceMin, priceMax, state, city, userState, page, limit, seed
+        );
+        return ResponseEntity.ok()
+                .header(DISPLAY_SEED_HEADER, String.valueOf(result.seed()))
+                .body(result.ads());
     }
 
     @GetMapping("/homepage")
@@ -75,6 +86,16 @@ public class AdController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Get ads similar to an ad")
+    public ResponseEntity<List<Ad>> getSimilarAds(
+            @PathVariable String id,
+            @Parameter(description = "Result limit") @RequestParam(defaultValue = "8") int limit) {
+        return similarAdsService.findSimilarAds(id, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     @Operation(summary = "Create a new ad")
     public ResponseEntity<Ad> createAd(@RequestBody Ad ad) {
@@ -0,0 +1,9 @@
+package com.classificados.repository;
+
+import com.classificados.model.Ad;
+
+/**
+ * Published after a transaction that inserted, deleted or changed a search-relevant
+ * field of an ad has committed.
+ */
+public record AdChangedEvent(Ad ad, boolean removed) {}
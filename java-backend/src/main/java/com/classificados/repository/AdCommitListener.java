@@ -0,0 +1,112 @@
+package com.classificados.repository;
+
+import com.classificados.model.Ad;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Publishes {@link AdChangedEvent}s once ad writes have committed.
+ *
+ * Registered as a Hibernate post-commit listener, so rolled-back writes are never
+ * published. Updates are only published when a field that affects matching changed;
+ * counter bumps (views, contacts, favorites) are ignored.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdCommitListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<String> INDEXED_PROPERTIES = Set.of(
+        "title", "categoryId", "price", "state", "status"
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Ad ad) {
+            eventPublisher.publishEvent(new AdChangedEvent(ad, false));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Ad ad && indexedPropertyChanged(event)) {
+            eventPublisher.publishEvent(new AdChangedEvent(ad, false));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Ad ad) {
+            eventPublisher.publishEvent(new AdChangedEvent(ad, true));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Ad.class.equals(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back: nothing to publish
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing to publish
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: nothing to publish
+    }
+
+    private boolean indexedPropertyChanged(PostUpdateEvent event) {
+        String[] names = event.getPersister().getPropertyNames();
+
+        int[] dirty = event.getDirtyProperties();
+        if (dirty != null) {
+            for (int index : dirty) {
+                if (INDEXED_PROPERTIES.contains(names[index])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // No dirty check was done (e.g. detached update), compare the states
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return true;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (INDEXED_PROPERTIES.contains(names[i]) && !Objects.equals(oldState[i], event.getState()[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
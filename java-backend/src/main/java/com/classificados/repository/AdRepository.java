@@ -1,6 +1,7 @@
 package com.classificados.repository;
 
 import com.classificados.model.Ad;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,8 @@ public interface AdRepository extends JpaRepository<Ad, String> {
 
     List<Ad> findByStatus(Ad.AdStatus status);
 
+    List<Ad> findByStatus(Ad.AdStatus status, Pageable pageable);
+
     List<Ad> findByStatusAndCategoryId(Ad.AdStatus status, String categoryId);
 
     List<Ad> findBySellerIdAndStatus(String userId, Ad.AdStatus status);
@@ -4,12 +4,15 @@ import com.classificados.model.Ad;
 import com.classificados.model.Plan;
 import com.classificados.repository.AdRepository;
 import com.classificados.repository.PlanRepository;
+import com.classificados.service.blend.AdBlender;
+import com.classificados.service.blend.BlendStrategy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +25,7 @@ public class AdDisplayService {
 
     private final AdRepository adRepository;
     private final PlanRepository planRepository;
+    private final AdBlender adBlender;
 
     // Plan priority scores (higher = more visibility)
     private static final Map<Ad.PlanType, Integer> PLAN_PRIORITY_SCORES = Map.of(
@@ -162,6 +166,19 @@ public class AdDisplayService {
         return Math.random() < probability;
     }
 
+    /**
+     * Same as {@link #shouldDisplayAd(Ad)}, but with a draw that is repeatable for the same seed.
+     */
+    public boolean shouldDisplayAd(Ad ad, long seed) {
+        if (ad.getId() == null) {
+            return shouldDisplayAd(ad);
+        }
+
+        double probability = PLAN_DISPLAY_PROBABILITY.getOrDefault(ad.getPlanType(), 0.4);
+        double draw = new SplittableRandom(seed ^ ad.getId().hashCode()).nextDouble();
+        return draw < probability;
+    }
+
     /**
      * Get ads for homepage, organized by sections.
      */
@@ -212,44 +229,45 @@ public class AdDisplayService {
     public List<Ad> searchAds(String query, String categoryId, Double priceMin,
                               Double priceMax, String state, String city,
                               String userState, int limit) {
+        return searchAds(query, categoryId, priceMin, priceMax, state, city, userState, 0, limit, null).ads();
+    }
+
+    /**
+     * Search ads with plan-based prioritization, one page at a time.
+     * The display lottery is drawn from a seed and ties in score are broken by id,
+     * so every page of a search is cut from the same blended order. Without a seed
+     * from the client a random one is drawn; it is returned so clients can send it
+     * back on the next pages. Scores that change between requests (e.g. views feeding
+     * the engagement score) can still move an ad across a page boundary.
+     */
+    public SearchAdsResult searchAds(String query, String categoryId, Double priceMin,
+                                     Double priceMax, String state, String city,
+                                     String userState, int page, int limit, Long seed) {
+        long displaySeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
         // Get all active ads matching basic criteria
         List<Ad> ads = adRepository.findActiveAdsByFilters(categoryId, priceMin, priceMax, state, city);
 
         // Calculate scores and filter by display probability
-        List<ScoredAd> scoredAds = ads.stream()
-                .filter(this::shouldDisplayAd)
-                .map(ad -> new ScoredAd(ad, calculateDisplayScore(ad, query, userState)))
-                .sorted((a, b) -> Double.compare(b.score, a.score))
-                .collect(Collectors.toList());
+        List<Ad> rankedAds = rankAds(ads, query, userState, displaySeed);
 
-        // Mix premium ads at top positions
-        List<Ad> results = new ArrayList<>();
-        int premiumPositions = Math.min(3, (int) Math.ceil(limit * 0.25));
-
-        // Get premium ads for top positions
-        List<Ad> premiumAds = scoredAds.stream()
-                .filter(sa -> sa.ad.getPlanType() == Ad.PlanType.PREMIUM ||
-                             sa.ad.getPlanType() == Ad.PlanType.FEATURED ||
-                             sa.ad.getPlanType() == Ad.PlanType.ENTERPRISE)
-                .limit(premiumPositions)
-                .map(sa -> sa.ad)
-                .collect(Collectors.toList());
-
-        // Get remaining ads
-        Set<String> premiumIds = premiumAds.stream()
-                .map(Ad::getId)
-                .collect(Collectors.toSet());
+        // Mix premium ads into the page according to the configured strategy
+        BlendStrategy strategy = adBlender.strategyFor(categoryId);
+        return new SearchAdsResult(adBlender.blend(rankedAds, strategy, page, limit), displaySeed);
+    }
 
-        List<Ad> remainingAds = scoredAds.stream()
-                .filter(sa -> !premiumIds.contains(sa.ad.getId()))
-                .limit(limit - premiumAds.size())
-                .map(sa -> sa.ad)
+    /**
+     * Filter ads by the seeded display lottery and order them by display score,
+     * best first. Ties are broken by id so the order is repeatable.
+     */
+    public List<Ad> rankAds(List<Ad> ads, String query, String userState, long seed) {
+        return ads.stream()
+                .filter(ad -> shouldDisplayAd(ad, seed))
+                .map(ad -> new ScoredAd(ad, calculateDisplayScore(ad, query, userState)))
+                .sorted(Comparator.comparingDouble(ScoredAd::score).reversed()
+                        .thenComparing(sa -> sa.ad().getId(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(ScoredAd::ad)
                 .collect(Collectors.toList());
-
-        results.addAll(premiumAds);
-        results.addAll(remainingAds);
-
-        return results.stream().limit(limit).collect(Collectors.toList());
     }
 
     /**
@@ -287,5 +305,6 @@ public class AdDisplayService {
     // Helper classes
     public record HomepageAdsResult(List<Ad> featuredAds, List<Ad> premiumAds, List<Ad> regularAds) {}
     public record CategoryAdsResult(List<Ad> highlightedAds, List<Ad> regularAds) {}
+    public record SearchAdsResult(List<Ad> ads, long seed) {}
     private record ScoredAd(Ad ad, double score) {}
 }
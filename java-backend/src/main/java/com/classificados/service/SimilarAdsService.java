@@ -0,0 +1,150 @@
+package com.classificados.service;
+
+import com.classificados.config.SimilarAdsProperties;
+import com.classificados.model.Ad;
+import com.classificados.repository.AdChangedEvent;
+import com.classificados.repository.AdRepository;
+import com.classificados.service.similar.SimilarAdsIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves "related ads" for the ad detail page from a precomputed neighbour index.
+ *
+ * The index is rebuilt in the background from all active ads and kept current in
+ * between from committed {@link AdChangedEvent}s. A lookup is one map read plus
+ * hydrating the neighbour ids.
+ *
+ * Rebuilds are serialized by their own lock and load the catalog without holding
+ * the index monitor, which only guards the short in-memory index updates.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SimilarAdsService {
+
+    private final AdRepository adRepository;
+    private final SimilarAdsProperties properties;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile SimilarAdsIndex index;
+
+    // Changes received while a rebuild runs, replayed on the new index
+    private List<AdChangedEvent> pendingChanges;
+
+    /**
+     * Get active ads similar to the given one, best match first.
+     * Returns empty when the ad does not exist.
+     */
+    public Optional<List<Ad>> findSimilarAds(String adId, int limit) {
+        ensureBuilt();
+
+        Optional<List<String>> neighbourIds = index.neighbourIds(adId);
+        if (neighbourIds.isEmpty()) {
+            // Not indexed (inactive, untitled or not picked up yet): indexing is left
+            // to the change events and the rebuild, this only tells 404 from no results
+            return adRepository.existsById(adId) ? Optional.of(List.of()) : Optional.empty();
+        }
+
+        return Optional.of(hydrate(neighbourIds.get(), limit));
+    }
+
+    /**
+     * Build the index once if no rebuild has completed yet.
+     */
+    public void ensureBuilt() {
+        if (index == null) {
+            rebuildLock.lock();
+            try {
+                if (index == null) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the index from all active ads.
+     */
+    @Scheduled(fixedDelayString = "#{@similarAdsProperties.rebuildInterval.toMillis()}",
+               initialDelayString = "#{@similarAdsProperties.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            List<Ad> activeAds = adRepository.findByStatus(Ad.AdStatus.ACTIVE);
+            SimilarAdsIndex rebuilt = SimilarAdsIndex.build(
+                activeAds, properties.getNeighbours(), properties.getMaxCandidates()
+            );
+
+            synchronized (this) {
+                pendingChanges.forEach(change -> apply(rebuilt, change));
+                pendingChanges = null;
+                index = rebuilt;
+            }
+
+            log.info("Similar ads index rebuilt: {} ads in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Index a committed change. Ads that are deleted or no longer active are dropped.
+     */
+    @EventListener
+    public synchronized void onAdChanged(AdChangedEvent change) {
+        if (change.ad().getId() == null) {
+            return;
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        if (index != null) {
+            apply(index, change);
+        }
+    }
+
+    private void apply(SimilarAdsIndex target, AdChangedEvent change) {
+        Ad ad = change.ad();
+        if (!change.removed() && ad.getStatus() == Ad.AdStatus.ACTIVE) {
+            target.add(ad);
+        } else {
+            target.remove(ad.getId());
+        }
+    }
+
+    /**
+     * Load the neighbours in one query, keeping index order and skipping inactive ads.
+     */
+    private List<Ad> hydrate(List<String> ids, int limit) {
+        if (ids.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<String, Ad> adsById = adRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Ad::getId, Function.identity()));
+
+        return ids.stream()
+                .map(adsById::get)
+                .filter(Objects::nonNull)
+                .filter(ad -> ad.getStatus() == Ad.AdStatus.ACTIVE)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,190 @@
+package com.classificados.service;
+
+import com.classificados.config.WarmUpProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.classificados.model.Ad;
+import com.classificados.repository.AdRepository;
+import com.classificados.service.blend.AdBlender;
+import com.classificados.service.blend.BlendStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Warms the API up after startup.
+ *
+ * Runs as an {@link ApplicationRunner}, so the readiness state only switches to
+ * ACCEPTING_TRAFFIC once it returns. It loads a page of active ads (connection
+ * pool and Hibernate metadata), calls the display endpoints once, builds the
+ * similar-ads index, then repeats scoring and blending rounds on that page until
+ * round latency is steady so the hot paths are JIT-compiled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmUpService implements ApplicationRunner, InfoContributor {
+
+    private final WarmUpProperties properties;
+    private final AdRepository adRepository;
+    private final AdDisplayService adDisplayService;
+    private final AdBlender adBlender;
+    private final SimilarAdsService similarAdsService;
+
+    // Display lottery seed for the scoring rounds
+    private static final long WARM_UP_SEED = 42L;
+
+    private volatile WarmUpReport report;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (!properties.isEnabled()) {
+            report = new WarmUpReport(startupMillis, 0, 0, 0, 0, null);
+            log.info("Warm-up disabled, started in {} ms", startupMillis);
+            return;
+        }
+
+        try {
+            warmUp(startupMillis);
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency, it must not keep the instance down
+            report = new WarmUpReport(startupMillis, 0, 0, 0, 0, null);
+            log.warn("Warm-up failed, serving cold", e);
+        }
+    }
+
+    private void warmUp(long startupMillis) {
+        long start = System.nanoTime();
+
+        // Data access paths
+        List<Ad> sample = adRepository.findByStatus(
+            Ad.AdStatus.ACTIVE, PageRequest.of(0, properties.getSampleSize())
+        );
+        adDisplayService.getHomepageAds(4, 4, 8);
+        adDisplayService.searchAds(null, null, null, null, null, null, null, 20);
+        similarAdsService.ensureBuilt();
+
+        if (sample.isEmpty()) {
+            sample = syntheticAds();
+        }
+        List<String> queries = sampleQueries(sample);
+        BlendStrategy strategy = adBlender.strategyFor(null);
+
+        // Scoring paths, until round latency settles
+        long deadline = start + properties.getMaxDuration().toNanos();
+        long firstRound = 0;
+        long bestRound = Long.MAX_VALUE;
+        int stable = 0;
+        int rounds = 0;
+
+        while (rounds < properties.getMaxRounds() && System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            runScoringRound(sample, queries, strategy);
+            long roundNanos = System.nanoTime() - roundStart;
+
+            if (rounds++ == 0) {
+                firstRound = roundNanos;
+            }
+            if (bestRound != Long.MAX_VALUE && roundNanos <= bestRound * (1 + properties.getTolerance())) {
+                stable++;
+            } else {
+                stable = 0;
+            }
+            bestRound = Math.min(bestRound, roundNanos);
+
+            if (stable >= properties.getStableRounds()) {
+                break;
+            }
+        }
+
+        boolean steady = stable >= properties.getStableRounds();
+        long warmUpMillis = (System.nanoTime() - start) / 1_000_000;
+        report = new WarmUpReport(startupMillis, warmUpMillis, rounds,
+                firstRound / 1_000, bestRound == Long.MAX_VALUE ? 0 : bestRound / 1_000,
+                steady ? startupMillis + warmUpMillis : null);
+
+        log.info("Started in {} ms, warm-up took {} ms over {} rounds ({} ads, first round {} us, best {} us)",
+                report.startupMillis(), report.warmUpMillis(), report.rounds(), sample.size(),
+                report.firstRoundMicros(), report.bestRoundMicros());
+        if (steady) {
+            log.info("Latency steady after {} ms", report.timeToSteadyMillis());
+        } else {
+            log.warn("Latency not steady when warm-up budget ran out, serving anyway");
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        if (report != null) {
+            builder.withDetail("warmUp", report);
+        }
+    }
+
+    /**
+     * One round of the search hot path: rank the sample per query as search does, then blend.
+     * The seed is fixed so every round ranks the same ads.
+     */
+    private void runScoringRound(List<Ad> sample, List<String> queries, BlendStrategy strategy) {
+        for (String query : queries) {
+            List<Ad> ranked = adDisplayService.rankAds(sample, query, "SP", WARM_UP_SEED);
+            adBlender.blend(ranked, strategy, 0, 20);
+        }
+    }
+
+    /**
+     * A blank query plus the first title word of a few sample ads.
+     */
+    private List<String> sampleQueries(List<Ad> sample) {
+        List<String> queries = new ArrayList<>();
+        queries.add(null);
+        sample.stream()
+                .map(Ad::getTitle)
+                .filter(Objects::nonNull)
+                .map(title -> title.trim().split("\\s+")[0])
+                .filter(word -> !word.isBlank())
+                .distinct()
+                .limit(3)
+                .forEach(queries::add);
+        return queries;
+    }
+
+    /**
+     * Stand-in ads, one per plan, for an empty catalog. Never persisted.
+     */
+    private List<Ad> syntheticAds() {
+        List<Ad> ads = new ArrayList<>();
+        for (Ad.PlanType planType : Ad.PlanType.values()) {
+            ads.add(Ad.builder()
+                    .id("warmup-" + planType.name().toLowerCase())
+                    .title("Anuncio " + planType.name().toLowerCase())
+                    .description("Anuncio de aquecimento")
+                    .price(BigDecimal.TEN)
+                    .planType(planType)
+                    .state("SP")
+                    .city("Sao Paulo")
+                    .views(0L)
+                    .contacts(0L)
+                    .favorites(0L)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return ads;
+    }
+
+    /**
+     * Startup figures. {@code timeToSteadyMillis} is null when latency never settled.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record WarmUpReport(long startupMillis, long warmUpMillis, int rounds,
+                               long firstRoundMicros, long bestRoundMicros, Long timeToSteadyMillis) {}
+}
@@ -0,0 +1,140 @@
+package com.classificados.service.blend;
+
+import com.classificados.config.BlendingProperties;
+import com.classificados.model.Ad;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Blends promoted ads into a ranked result list, one page at a time.
+ *
+ * Slots are numbered globally across pages and the blend is replayed from the
+ * first slot, so for the same ranked input every ad lands on exactly one page.
+ * Each candidate is read at most once and held in a per-plan queue until it is
+ * placed, which keeps a page to a single linear pass over the ranking.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdBlender {
+
+    private static final Set<Ad.PlanType> PROMOTED_PLANS = EnumSet.of(
+        Ad.PlanType.PREMIUM,
+        Ad.PlanType.FEATURED,
+        Ad.PlanType.ENTERPRISE
+    );
+
+    private final BlendingProperties properties;
+
+    /**
+     * Resolve the search strategy for a category. Category settings fall back to the defaults.
+     */
+    public BlendStrategy strategyFor(String categoryId) {
+        BlendingProperties.Strategy config = properties.getDefaults()
+                .withFallback(BlendingProperties.Strategy.builtIn());
+
+        BlendingProperties.Strategy categoryConfig = categoryId != null
+                ? properties.getCategories().get(categoryId)
+                : null;
+        if (categoryConfig != null) {
+            config = categoryConfig.withFallback(config);
+        }
+
+        return switch (config.getType()) {
+            case TOP_SLOTS -> new TopSlotsBlendStrategy(config.getMaxSlots(), config.getRatio());
+            case INTERLEAVE -> new InterleaveBlendStrategy(config.getEvery());
+            case PLAN_QUOTA -> new PlanQuotaBlendStrategy(config.getQuotas());
+        };
+    }
+
+    /**
+     * Produce page {@code page} (0-based) of the blended list.
+     *
+     * @param ranked candidates ordered from best to worst score
+     */
+    public List<Ad> blend(List<Ad> ranked, BlendStrategy strategy, int page, int pageSize) {
+        if (pageSize <= 0 || page < 0) {
+            return List.of();
+        }
+
+        long offset = (long) page * pageSize;
+        long end = offset + pageSize;
+
+        Map<Ad.PlanType, ArrayDeque<RankedAd>> queues = new EnumMap<>(Ad.PlanType.class);
+        for (Ad.PlanType planType : Ad.PlanType.values()) {
+            queues.put(planType, new ArrayDeque<>());
+        }
+        Map<Ad.PlanType, Integer> pageCounts = new EnumMap<>(Ad.PlanType.class);
+
+        List<Ad> results = new ArrayList<>(Math.min(pageSize, ranked.size()));
+        Iterator<Ad> candidates = ranked.iterator();
+        int rank = 0;
+        long position = 0;
+
+        while (position < end) {
+            int slot = (int) (position % pageSize);
+            if (slot == 0) {
+                pageCounts.clear();
+            }
+
+            boolean promotedSlot = strategy.isPromotedSlot(slot, pageSize);
+            RankedAd next = bestHead(queues, promotedSlot, strategy, pageCounts);
+
+            if (next == null) {
+                // Nothing buffered can take this slot yet, read the next candidate
+                if (candidates.hasNext()) {
+                    Ad ad = candidates.next();
+                    queues.get(planOf(ad)).addLast(new RankedAd(ad, rank++));
+                    continue;
+                }
+
+                // Ranking exhausted: backfill a promoted slot with the best remaining ad
+                next = promotedSlot ? bestHead(queues, false, strategy, pageCounts) : null;
+                if (next == null) {
+                    break;
+                }
+                promotedSlot = false;
+            }
+
+            Ad.PlanType planType = planOf(next.ad());
+            queues.get(planType).pollFirst();
+            if (promotedSlot) {
+                pageCounts.merge(planType, 1, Integer::sum);
+            }
+            if (position >= offset) {
+                results.add(next.ad());
+            }
+            position++;
+        }
+
+        return results;
+    }
+
+    /**
+     * Best-ranked queued ad that may take the slot. Queues are filled in rank
+     * order, so any queued ad outranks every candidate not yet read.
+     */
+    private RankedAd bestHead(Map<Ad.PlanType, ArrayDeque<RankedAd>> queues, boolean promotedSlot,
+                              BlendStrategy strategy, Map<Ad.PlanType, Integer> pageCounts) {
+        RankedAd best = null;
+        for (Map.Entry<Ad.PlanType, ArrayDeque<RankedAd>> entry : queues.entrySet()) {
+            RankedAd head = entry.getValue().peekFirst();
+            if (head == null || (best != null && best.rank() < head.rank())) {
+                continue;
+            }
+            if (promotedSlot && (!PROMOTED_PLANS.contains(entry.getKey()) ||
+                                 !strategy.admits(entry.getKey(), pageCounts))) {
+                continue;
+            }
+            best = head;
+        }
+        return best;
+    }
+
+    private static Ad.PlanType planOf(Ad ad) {
+        return ad.getPlanType() != null ? ad.getPlanType() : Ad.PlanType.FREE;
+    }
+
+    private record RankedAd(Ad ad, int rank) {}
+}
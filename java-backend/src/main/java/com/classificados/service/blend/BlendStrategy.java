@@ -0,0 +1,25 @@
+package com.classificados.service.blend;
+
+import com.classificados.model.Ad;
+
+import java.util.Map;
+
+/**
+ * Decides which slots of a result page are reserved for promoted
+ * (PREMIUM, FEATURED, ENTERPRISE) ads.
+ */
+public interface BlendStrategy {
+
+    /**
+     * Whether the slot at {@code slot} (0-based, within the page) is reserved for a promoted ad.
+     */
+    boolean isPromotedSlot(int slot, int pageSize);
+
+    /**
+     * Whether an ad of the given plan may take a promoted slot, given the promoted
+     * slots already filled on the current page.
+     */
+    default boolean admits(Ad.PlanType planType, Map<Ad.PlanType, Integer> pageCounts) {
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.classificados.service.blend;
+
+/**
+ * Reserves every Nth slot of a page for promoted ads, starting with the first slot.
+ */
+public class InterleaveBlendStrategy implements BlendStrategy {
+
+    private final int every;
+
+    public InterleaveBlendStrategy(int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Interleave interval must be at least 1");
+        }
+        this.every = every;
+    }
+
+    @Override
+    public boolean isPromotedSlot(int slot, int pageSize) {
+        return slot % every == 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.classificados.service.blend;
+
+import com.classificados.model.Ad;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reserves the top slots of every page for promoted ads, with a maximum
+ * number of slots per plan (e.g. 2 ENTERPRISE, 1 FEATURED, 1 PREMIUM).
+ * Promoted ads over quota still compete for the regular slots.
+ */
+public class PlanQuotaBlendStrategy implements BlendStrategy {
+
+    private final Map<Ad.PlanType, Integer> quotas;
+    private final int promotedSlots;
+
+    public PlanQuotaBlendStrategy(Map<Ad.PlanType, Integer> quotas) {
+        this.quotas = quotas.isEmpty() ? new EnumMap<>(Ad.PlanType.class) : new EnumMap<>(quotas);
+        this.promotedSlots = this.quotas.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public boolean isPromotedSlot(int slot, int pageSize) {
+        return slot < promotedSlots;
+    }
+
+    @Override
+    public boolean admits(Ad.PlanType planType, Map<Ad.PlanType, Integer> pageCounts) {
+        return pageCounts.getOrDefault(planType, 0) < quotas.getOrDefault(planType, 0);
+    }
+}
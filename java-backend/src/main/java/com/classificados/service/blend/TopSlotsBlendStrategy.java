@@ -0,0 +1,22 @@
+package com.classificados.service.blend;
+
+/**
+ * Reserves the first slots of every page for promoted ads:
+ * {@code min(maxSlots, ceil(pageSize * ratio))} of them.
+ */
+public class TopSlotsBlendStrategy implements BlendStrategy {
+
+    private final int maxSlots;
+    private final double ratio;
+
+    public TopSlotsBlendStrategy(int maxSlots, double ratio) {
+        this.maxSlots = maxSlots;
+        this.ratio = ratio;
+    }
+
+    @Override
+    public boolean isPromotedSlot(int slot, int pageSize) {
+        int promotedSlots = Math.min(maxSlots, (int) Math.ceil(pageSize * ratio));
+        return slot < promotedSlots;
+    }
+}
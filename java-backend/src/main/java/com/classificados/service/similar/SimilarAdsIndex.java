@@ -0,0 +1,348 @@
+package com.classificados.service.similar;
+
+import com.classificados.model.Ad;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed neighbour lists for ads, built with MinHash/LSH over title tokens.
+ *
+ * Each ad gets a MinHash signature of its title tokens. The signature is split
+ * into bands and every band is hashed, together with the category, into an LSH
+ * bucket, so only ads of the same category sharing a band are compared. With 16
+ * bands of 2 rows, titles around 0.3 Jaccard similarity already collide in most
+ * cases. Ads with too few LSH candidates fall back to the newest ads of their
+ * category. Candidates are ranked by estimated title similarity, price band and state.
+ *
+ * Neighbour lists are readable from any thread. Writes (add, remove) must be
+ * serialized by the caller.
+ */
+public class SimilarAdsIndex {
+
+    private static final int NUM_HASHES = 32;
+    private static final int BANDS = 16;
+    private static final int ROWS = NUM_HASHES / BANDS;
+
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x5eedL).longs(NUM_HASHES).toArray();
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "de", "da", "do", "das", "dos", "com", "para", "em", "e", "a", "o", "um", "uma"
+    );
+
+    // Score weights
+    private static final double WEIGHT_TITLE = 0.6;
+    private static final double WEIGHT_PRICE = 0.2;
+    private static final double WEIGHT_STATE = 0.2;
+
+    private final int maxNeighbours;
+    private final int maxCandidates;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // Bucket members and per-category ads, oldest first
+    private final Map<Long, ArrayDeque<String>> buckets = new HashMap<>();
+    private final Map<String, ArrayDeque<String>> recentByCategory = new HashMap<>();
+
+    private final Map<String, List<Neighbour>> neighbours = new ConcurrentHashMap<>();
+
+    // Reverse of neighbours: ad id -> ids of the ads whose list contains it
+    private final Map<String, Set<String>> listedBy = new HashMap<>();
+
+    public SimilarAdsIndex(int maxNeighbours, int maxCandidates) {
+        this.maxNeighbours = maxNeighbours;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Build an index over a batch of ads in two passes: bucket everything, then rank neighbours.
+     */
+    public static SimilarAdsIndex build(Collection<Ad> ads, int maxNeighbours, int maxCandidates) {
+        SimilarAdsIndex index = new SimilarAdsIndex(maxNeighbours, maxCandidates);
+
+        List<Ad> oldestFirst = new ArrayList<>(ads);
+        oldestFirst.sort(Comparator.comparing(Ad::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (Ad ad : oldestFirst) {
+            Entry entry = Entry.of(ad);
+            if (entry != null) {
+                index.insert(entry);
+            }
+        }
+        for (Entry entry : index.entries.values()) {
+            index.setNeighbours(entry.id(), index.rankNeighbours(entry));
+        }
+        return index;
+    }
+
+    /**
+     * Neighbour ids of an ad, best first, or empty if the ad is not indexed.
+     */
+    public Optional<List<String>> neighbourIds(String adId) {
+        List<Neighbour> list = neighbours.get(adId);
+        if (list == null) {
+            return Optional.empty();
+        }
+        return Optional.of(list.stream().map(Neighbour::id).toList());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Index a new or changed ad. Its neighbours are offered the ad, and the lists
+     * that held its previous version are re-ranked so none of them is left short.
+     */
+    public void add(Ad ad) {
+        Set<String> referrers = detach(ad.getId());
+
+        Entry entry = Entry.of(ad);
+        if (entry != null) {
+            insert(entry);
+
+            List<Neighbour> ranked = rankNeighbours(entry);
+            setNeighbours(entry.id(), ranked);
+
+            for (Neighbour neighbour : ranked) {
+                List<Neighbour> list = neighbours.get(neighbour.id());
+                if (list != null && !referrers.contains(neighbour.id())) {
+                    setNeighbours(neighbour.id(), offer(list, new Neighbour(entry.id(), neighbour.score())));
+                }
+            }
+        }
+
+        rerank(referrers);
+    }
+
+    /**
+     * Drop an ad from the index and re-rank every list that contained it.
+     */
+    public void remove(String adId) {
+        rerank(detach(adId));
+    }
+
+    /**
+     * Take an ad out of the buckets and every neighbour list.
+     * Returns the ids of the ads whose lists contained it.
+     */
+    private Set<String> detach(String adId) {
+        Entry entry = entries.remove(adId);
+        if (entry == null) {
+            return Set.of();
+        }
+        for (long key : entry.bucketKeys()) {
+            ArrayDeque<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(adId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+        ArrayDeque<String> recent = recentByCategory.get(entry.categoryId());
+        if (recent != null) {
+            recent.remove(adId);
+        }
+
+        setNeighbours(adId, null);
+        Set<String> referrers = new HashSet<>(listedBy.getOrDefault(adId, Set.of()));
+        for (String referrer : referrers) {
+            List<Neighbour> list = neighbours.get(referrer);
+            if (list != null) {
+                setNeighbours(referrer, list.stream().filter(n -> !n.id().equals(adId)).toList());
+            }
+        }
+        listedBy.remove(adId);
+        return referrers;
+    }
+
+    private void rerank(Set<String> adIds) {
+        for (String adId : adIds) {
+            Entry entry = entries.get(adId);
+            if (entry != null) {
+                setNeighbours(adId, rankNeighbours(entry));
+            }
+        }
+    }
+
+    private void insert(Entry entry) {
+        entries.put(entry.id(), entry);
+        for (long key : entry.bucketKeys()) {
+            buckets.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(entry.id());
+        }
+        ArrayDeque<String> recent = recentByCategory.computeIfAbsent(entry.categoryId(), k -> new ArrayDeque<>());
+        recent.addLast(entry.id());
+        if (recent.size() > maxCandidates) {
+            recent.pollFirst();
+        }
+    }
+
+    /**
+     * Replace (or with null, drop) an ad's list and keep {@link #listedBy} in sync.
+     */
+    private void setNeighbours(String adId, List<Neighbour> list) {
+        List<Neighbour> previous = list == null ? neighbours.remove(adId) : neighbours.put(adId, list);
+        if (previous != null) {
+            for (Neighbour neighbour : previous) {
+                Set<String> referrers = listedBy.get(neighbour.id());
+                if (referrers != null) {
+                    referrers.remove(adId);
+                    if (referrers.isEmpty()) {
+                        listedBy.remove(neighbour.id());
+                    }
+                }
+            }
+        }
+        if (list != null) {
+            for (Neighbour neighbour : list) {
+                listedBy.computeIfAbsent(neighbour.id(), k -> new HashSet<>()).add(adId);
+            }
+        }
+    }
+
+    /**
+     * Score the newest members of each of the ad's buckets, topped up with the
+     * newest ads of its category when LSH found too few.
+     */
+    private List<Neighbour> rankNeighbours(Entry entry) {
+        Set<String> candidates = new LinkedHashSet<>();
+        int perBucket = Math.max(1, maxCandidates / BANDS);
+
+        for (long key : entry.bucketKeys()) {
+            collectNewest(buckets.get(key), perBucket, entry.id(), candidates);
+        }
+        if (candidates.size() < maxNeighbours) {
+            collectNewest(recentByCategory.get(entry.categoryId()), maxCandidates, entry.id(), candidates);
+        }
+
+        List<Neighbour> ranked = new ArrayList<>(candidates.size());
+        for (String id : candidates) {
+            ranked.add(new Neighbour(id, score(entry, entries.get(id))));
+        }
+        ranked.sort(Comparator.comparingDouble(Neighbour::score).reversed());
+        return List.copyOf(ranked.subList(0, Math.min(maxNeighbours, ranked.size())));
+    }
+
+    private void collectNewest(ArrayDeque<String> ids, int limit, String self, Set<String> candidates) {
+        if (ids == null) {
+            return;
+        }
+        int taken = 0;
+        Iterator<String> newestFirst = ids.descendingIterator();
+        while (newestFirst.hasNext() && taken < limit && candidates.size() < maxCandidates) {
+            String id = newestFirst.next();
+            if (!id.equals(self) && candidates.add(id)) {
+                taken++;
+            }
+        }
+    }
+
+    private List<Neighbour> offer(List<Neighbour> list, Neighbour candidate) {
+        if (list.size() >= maxNeighbours && list.get(list.size() - 1).score() >= candidate.score()) {
+            return list;
+        }
+        List<Neighbour> updated = new ArrayList<>(list.size() + 1);
+        for (Neighbour neighbour : list) {
+            if (!neighbour.id().equals(candidate.id())) {
+                updated.add(neighbour);
+            }
+        }
+        updated.add(candidate);
+        updated.sort(Comparator.comparingDouble(Neighbour::score).reversed());
+        return List.copyOf(updated.subList(0, Math.min(maxNeighbours, updated.size())));
+    }
+
+    private static double score(Entry a, Entry b) {
+        int matching = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a.signature()[i] == b.signature()[i]) {
+                matching++;
+            }
+        }
+        double titleScore = (double) matching / NUM_HASHES;
+        double priceScore = Math.max(0, 1 - Math.abs(a.priceBand() - b.priceBand()) / 3.0);
+        double stateScore = Objects.equals(a.state(), b.state()) ? 1 : 0;
+
+        return (titleScore * WEIGHT_TITLE) + (priceScore * WEIGHT_PRICE) + (stateScore * WEIGHT_STATE);
+    }
+
+    /**
+     * Lowercased, accent-free title words, without stop words and single letters.
+     */
+    static Set<String> tokenize(String title) {
+        if (title == null) {
+            return Set.of();
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        Set<String> tokens = new HashSet<>();
+        for (String token : normalized.split("[^a-z0-9]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static long[] minHash(Set<String> tokens) {
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String token : tokens) {
+            long tokenHash = token.hashCode();
+            for (int i = 0; i < NUM_HASHES; i++) {
+                signature[i] = Math.min(signature[i], mix64(tokenHash ^ HASH_SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static long[] bucketKeys(long[] signature, String categoryId) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = mix64(categoryId.hashCode() * 31L + band);
+            for (int row = 0; row < ROWS; row++) {
+                key = mix64(key ^ signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    /**
+     * Power-of-two price bands, so ads within a factor of two share a band.
+     */
+    private static int priceBand(Ad ad) {
+        if (ad.getPrice() == null || ad.getPrice().signum() <= 0) {
+            return 0;
+        }
+        return 64 - Long.numberOfLeadingZeros(ad.getPrice().longValue());
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private record Entry(String id, String categoryId, String state, int priceBand,
+                         long[] signature, long[] bucketKeys) {
+        static Entry of(Ad ad) {
+            if (ad.getId() == null || ad.getCategoryId() == null) {
+                return null;
+            }
+            Set<String> tokens = tokenize(ad.getTitle());
+            if (tokens.isEmpty()) {
+                return null;
+            }
+            long[] signature = minHash(tokens);
+            return new Entry(ad.getId(), ad.getCategoryId(), ad.getState(), SimilarAdsIndex.priceBand(ad), signature,
+                    SimilarAdsIndex.bucketKeys(signature, ad.getCategoryId()));
+        }
+    }
+
+    public record Neighbour(String id, double score) {}
+}
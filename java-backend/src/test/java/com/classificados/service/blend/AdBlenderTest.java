@@ -0,0 +1,133 @@
+package com.classificados.service.blend;
+
+import com.classificados.config.BlendingProperties;
+import com.classificados.model.Ad;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdBlenderTest {
+
+    private BlendingProperties properties;
+    private AdBlender blender;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BlendingProperties();
+        blender = new AdBlender(properties);
+    }
+
+    @Test
+    void pagesAreDisjointAndCoverTheRankingForEveryStrategy() {
+        List<Ad> ranked = rankedAds(53, 7L);
+        List<BlendStrategy> strategies = List.of(
+            new TopSlotsBlendStrategy(3, 0.25),
+            new InterleaveBlendStrategy(4),
+            new PlanQuotaBlendStrategy(Map.of(Ad.PlanType.ENTERPRISE, 1, Ad.PlanType.PREMIUM, 2))
+        );
+
+        for (BlendStrategy strategy : strategies) {
+            List<String> seen = new ArrayList<>();
+            for (int page = 0; page < 7; page++) {
+                blender.blend(ranked, strategy, page, 10).forEach(ad -> seen.add(ad.getId()));
+            }
+
+            assertThat(seen).doesNotHaveDuplicates();
+            assertThat(seen).containsExactlyInAnyOrderElementsOf(ids(ranked));
+        }
+    }
+
+    @Test
+    void topSlotsMatchesTheLegacyBlend() {
+        List<Ad> ranked = List.of(
+            ad("f1", Ad.PlanType.FREE),
+            ad("p1", Ad.PlanType.PREMIUM),
+            ad("b1", Ad.PlanType.BASIC),
+            ad("e1", Ad.PlanType.ENTERPRISE),
+            ad("f2", Ad.PlanType.FREE),
+            ad("p2", Ad.PlanType.FEATURED),
+            ad("p3", Ad.PlanType.PREMIUM)
+        );
+
+        List<Ad> page = blender.blend(ranked, new TopSlotsBlendStrategy(3, 0.25), 0, 12);
+
+        assertThat(ids(page)).containsExactly("p1", "e1", "p2", "f1", "b1", "f2", "p3");
+    }
+
+    @Test
+    void planQuotasAreRespectedOnEveryPage() {
+        List<Ad> ranked = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ranked.add(ad("e" + i, Ad.PlanType.ENTERPRISE));
+        }
+        for (int i = 0; i < 30; i++) {
+            ranked.add(ad("p" + i, Ad.PlanType.PREMIUM));
+        }
+        BlendStrategy strategy = new PlanQuotaBlendStrategy(Map.of(Ad.PlanType.ENTERPRISE, 2, Ad.PlanType.PREMIUM, 1));
+
+        for (int page = 0; page < 3; page++) {
+            List<Ad> ads = blender.blend(ranked, strategy, page, 10);
+
+            // Enterprise ads outrank everything, so a premium slot is only filled because of its quota
+            assertThat(ads.subList(0, 3)).extracting(Ad::getPlanType)
+                    .containsExactly(Ad.PlanType.ENTERPRISE, Ad.PlanType.ENTERPRISE, Ad.PlanType.PREMIUM);
+        }
+    }
+
+    @Test
+    void pageSizeIsNotTrustedForAllocation() {
+        List<Ad> ranked = rankedAds(5, 1L);
+
+        assertThat(blender.blend(ranked, new TopSlotsBlendStrategy(3, 0.25), 0, Integer.MAX_VALUE)).hasSize(5);
+        assertThat(blender.blend(ranked, new TopSlotsBlendStrategy(3, 0.25), 1, 10)).isEmpty();
+    }
+
+    @Test
+    void categoryOverridesInheritUnsetFields() {
+        properties.getDefaults().setType(BlendingProperties.StrategyType.INTERLEAVE);
+        properties.getDefaults().setEvery(5);
+
+        BlendingProperties.Strategy housing = new BlendingProperties.Strategy();
+        housing.setEvery(3);
+        BlendingProperties.Strategy vehicles = new BlendingProperties.Strategy();
+        vehicles.setType(BlendingProperties.StrategyType.PLAN_QUOTA);
+        vehicles.setQuotas(Map.of(Ad.PlanType.ENTERPRISE, 2));
+        properties.getCategories().put("imoveis", housing);
+        properties.getCategories().put("veiculos", vehicles);
+
+        BlendStrategy search = blender.strategyFor(null);
+        assertThat(search).isInstanceOf(InterleaveBlendStrategy.class);
+        assertThat(search.isPromotedSlot(5, 20)).isTrue();
+        assertThat(search.isPromotedSlot(3, 20)).isFalse();
+
+        BlendStrategy housingStrategy = blender.strategyFor("imoveis");
+        assertThat(housingStrategy).isInstanceOf(InterleaveBlendStrategy.class);
+        assertThat(housingStrategy.isPromotedSlot(3, 20)).isTrue();
+
+        BlendStrategy vehiclesStrategy = blender.strategyFor("veiculos");
+        assertThat(vehiclesStrategy).isInstanceOf(PlanQuotaBlendStrategy.class);
+        assertThat(vehiclesStrategy.isPromotedSlot(1, 20)).isTrue();
+        assertThat(vehiclesStrategy.isPromotedSlot(2, 20)).isFalse();
+    }
+
+    private static List<Ad> rankedAds(int count, long seed) {
+        Random random = new Random(seed);
+        Ad.PlanType[] planTypes = Ad.PlanType.values();
+        List<Ad> ads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ads.add(ad("ad-" + i, planTypes[random.nextInt(planTypes.length)]));
+        }
+        return ads;
+    }
+
+    private static Ad ad(String id, Ad.PlanType planType) {
+        return Ad.builder().id(id).title("Anuncio " + id).planType(planType).build();
+    }
+
+    private static List<String> ids(List<Ad> ads) {
+        return ads.stream().map(Ad::getId).toList();
+    }
+}
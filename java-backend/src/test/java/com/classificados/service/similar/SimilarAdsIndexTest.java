@@ -0,0 +1,118 @@
+package com.classificados.service.similar;
+
+import com.classificados.model.Ad;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarAdsIndexTest {
+
+    private static final List<Ad> CATALOG = List.of(
+        ad("1", "iPhone 12 Pro 128GB", "celulares", "SP", 3000),
+        ad("2", "iPhone 12 Pro Max", "celulares", "SP", 3500),
+        ad("3", "Samsung Galaxy S21", "celulares", "RJ", 2500),
+        ad("4", "iPhone 12 Pro 256GB azul", "celulares", "RJ", 3200),
+        ad("5", "iPhone 12 Pro", "veiculos", "SP", 3000)
+    );
+
+    @Test
+    void ranksSimilarTitlesOfTheSameCategoryFirst() {
+        SimilarAdsIndex index = SimilarAdsIndex.build(CATALOG, 5, 100);
+
+        List<String> neighbours = index.neighbourIds("1").orElseThrow();
+
+        assertThat(neighbours).doesNotContain("1", "5");
+        assertThat(neighbours.subList(0, 2)).containsExactlyInAnyOrder("2", "4");
+    }
+
+    @Test
+    void fallsBackToTheCategoryWhenNoTitleMatches() {
+        SimilarAdsIndex index = SimilarAdsIndex.build(CATALOG, 5, 100);
+
+        assertThat(index.neighbourIds("3").orElseThrow()).containsExactlyInAnyOrder("1", "2", "4");
+    }
+
+    @Test
+    void addOffersTheAdToItsNeighboursAndRemoveTakesItBack() {
+        SimilarAdsIndex index = SimilarAdsIndex.build(CATALOG, 3, 100);
+        List<String> before = index.neighbourIds("1").orElseThrow();
+
+        index.add(ad("6", "iPhone 12 Pro 128 GB", "celulares", "SP", 2900));
+
+        assertThat(index.neighbourIds("6").orElseThrow()).contains("1");
+        assertThat(index.neighbourIds("1").orElseThrow()).contains("6");
+
+        index.remove("6");
+
+        assertThat(index.neighbourIds("6")).isEmpty();
+        assertThat(index.size()).isEqualTo(CATALOG.size());
+        for (Ad ad : CATALOG) {
+            index.neighbourIds(ad.getId()).ifPresent(ids -> assertThat(ids).doesNotContain("6"));
+        }
+        assertThat(index.neighbourIds("1").orElseThrow()).isEqualTo(before);
+    }
+
+    @Test
+    void updatesKeepNeighbourListsFull() {
+        List<Ad> catalog = new ArrayList<>();
+        String[] models = {"Gol", "Palio", "Civic", "Corolla", "Onix"};
+        for (int i = 1; i <= 40; i++) {
+            catalog.add(ad(String.valueOf(i), models[i % models.length] + " " + (2000 + i % 7) + " completo",
+                    "veiculos", i % 2 == 0 ? "SP" : "MG", 20000 + i * 1000));
+        }
+        SimilarAdsIndex index = SimilarAdsIndex.build(catalog, 5, 100);
+
+        // Re-index a quarter of the catalog unchanged, then drop and restore a few ads
+        for (int i = 0; i < catalog.size(); i += 4) {
+            index.add(catalog.get(i));
+        }
+        for (int i = 1; i < 6; i++) {
+            index.remove(catalog.get(i).getId());
+        }
+        for (int i = 1; i < 6; i++) {
+            index.add(catalog.get(i));
+        }
+
+        assertThat(index.size()).isEqualTo(catalog.size());
+        for (Ad ad : catalog) {
+            assertThat(index.neighbourIds(ad.getId()).orElseThrow()).hasSize(5);
+        }
+    }
+
+    @Test
+    void removeDropsTheAdFromEveryList() {
+        SimilarAdsIndex index = SimilarAdsIndex.build(CATALOG, 5, 100);
+
+        index.remove("2");
+
+        assertThat(index.neighbourIds("2")).isEmpty();
+        assertThat(index.neighbourIds("1").orElseThrow()).doesNotContain("2");
+        assertThat(index.neighbourIds("4").orElseThrow()).doesNotContain("2");
+    }
+
+    @Test
+    void reAddingAnAdMovesItToItsNewCategory() {
+        SimilarAdsIndex index = SimilarAdsIndex.build(CATALOG, 5, 100);
+
+        index.add(ad("5", "iPhone 12 Pro", "celulares", "SP", 3000));
+
+        assertThat(index.neighbourIds("5").orElseThrow()).contains("1", "2", "4");
+        assertThat(index.neighbourIds("1").orElseThrow()).contains("5");
+    }
+
+    private static Ad ad(String id, String title, String categoryId, String state, double price) {
+        return Ad.builder()
+                .id(id)
+                .title(title)
+                .categoryId(categoryId)
+                .state(state)
+                .price(BigDecimal.valueOf(price))
+                .createdAt(LocalDateTime.now().minusDays(Long.parseLong(id)))
+                .build();
+    }
+}